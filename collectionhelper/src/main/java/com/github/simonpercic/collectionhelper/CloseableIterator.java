@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) 2014 Simon Percic
+ *
+ * Get the latest version from:
+ * https://github.com/simonpercic/CollectionHelper
+ *
+ * Distributed under the MIT License, see LICENSE.txt for details
+ */
+
+package com.github.simonpercic.collectionhelper;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+/**
+ * Iterator holding resources, such as temporary files.
+ * Resources are released once the iterator is exhausted, {@link #close()} only needs to be called when it is abandoned
+ * early.
+ *
+ * @author Simon Percic <a href="https://github.com/simonpercic">https://github.com/simonpercic</a>
+ */
+public interface CloseableIterator<T> extends Iterator<T>, Closeable {
+    /**
+     * Should release all resources held by the iterator.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2014 Simon Percic
+ *
+ * Get the latest version from:
+ * https://github.com/simonpercic/CollectionHelper
+ *
+ * Distributed under the MIT License, see LICENSE.txt for details
+ */
+
+package com.github.simonpercic.collectionhelper;
+
+import com.github.simonpercic.collectionhelper.exceptions.ExternalStorageException;
+
+import java.io.File;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * External collection helper.
+ * Sorting, distinct and grouping for sources that do not fit in memory. At most <tt>maxItemsInMemory</tt> items are
+ * held in memory, the rest are spilled to temporary files as sorted runs, using the given {@link RecordSerializer}.
+ * Temporary files go to the given spill directory, or the default temporary directory (<tt>java.io.tmpdir</tt>), which
+ * may be memory backed on some systems.
+ * Results are produced lazily by merging the runs, temporary files are deleted once the returned iterator is exhausted
+ * or closed. At most 64 runs are merged at once, each with a small read buffer, larger numbers of runs are first merged
+ * into bigger runs on disk.
+ * I/O failures are reported as {@link ExternalStorageException}.
+ *
+ * @author Simon Percic <a href="https://github.com/simonpercic">https://github.com/simonpercic</a>
+ */
+@SuppressWarnings("checkstyle:finalclass")
+public class ExternalCollectionHelper {
+
+    private ExternalCollectionHelper() {
+        // no instance
+    }
+
+    /**
+     * Sorts the elements of a source using the given comparator, spilling to the default temporary directory.
+     * The sort is stable, equal elements keep their original order.
+     *
+     * @param items source items
+     * @param comparator comparator defining the order
+     * @param serializer serializer used for spilling
+     * @param maxItemsInMemory maximum number of items held in memory
+     * @param <T> type of elements in the source
+     * @return a lazy iterator over the sorted elements
+     * @throws ExternalStorageException if spilling to temporary files fails
+     */
+    public static <T> CloseableIterator<T> orderBy(Iterable<T> items, Comparator<? super T> comparator,
+            RecordSerializer<T> serializer, int maxItemsInMemory) {
+        return orderBy(items, comparator, serializer, maxItemsInMemory, null);
+    }
+
+    /**
+     * Sorts the elements of a source using the given comparator.
+     * The sort is stable, equal elements keep their original order.
+     *
+     * @param items source items
+     * @param comparator comparator defining the order
+     * @param serializer serializer used for spilling
+     * @param maxItemsInMemory maximum number of items held in memory
+     * @param spillDirectory directory for temporary files or null for the default temporary directory
+     * @param <T> type of elements in the source
+     * @return a lazy iterator over the sorted elements
+     * @throws ExternalStorageException if spilling to temporary files fails
+     */
+    public static <T> CloseableIterator<T> orderBy(Iterable<T> items, Comparator<? super T> comparator,
+            RecordSerializer<T> serializer, int maxItemsInMemory, File spillDirectory) {
+        return new ExternalSorter<>(comparator, serializer, maxItemsInMemory, false, spillDirectory).sort(items);
+    }
+
+    /**
+     * Returns distinct elements of a source, in the order defined by the given comparator, spilling to the default
+     * temporary directory.
+     * Elements are equal if the comparator returns 0, the first such element of the source is returned.
+     *
+     * @param items source items
+     * @param comparator comparator defining the order and equality
+     * @param serializer serializer used for spilling
+     * @param maxItemsInMemory maximum number of items held in memory
+     * @param <T> type of elements in the source
+     * @return a lazy iterator over the sorted distinct elements
+     * @throws ExternalStorageException if spilling to temporary files fails
+     */
+    public static <T> CloseableIterator<T> distinct(Iterable<T> items, Comparator<? super T> comparator,
+            RecordSerializer<T> serializer, int maxItemsInMemory) {
+        return distinct(items, comparator, serializer, maxItemsInMemory, null);
+    }
+
+    /**
+     * Returns distinct elements of a source, in the order defined by the given comparator.
+     * Elements are equal if the comparator returns 0, the first such element of the source is returned.
+     *
+     * @param items source items
+     * @param comparator comparator defining the order and equality
+     * @param serializer serializer used for spilling
+     * @param maxItemsInMemory maximum number of items held in memory
+     * @param spillDirectory directory for temporary files or null for the default temporary directory
+     * @param <T> type of elements in the source
+     * @return a lazy iterator over the sorted distinct elements
+     * @throws ExternalStorageException if spilling to temporary files fails
+     */
+    public static <T> CloseableIterator<T> distinct(Iterable<T> items, Comparator<? super T> comparator,
+            RecordSerializer<T> serializer, int maxItemsInMemory, File spillDirectory) {
+        return new ExternalSorter<>(comparator, serializer, maxItemsInMemory, true, spillDirectory).sort(items);
+    }
+
+    /**
+     * Groups the elements of a source by the key returned by the given mapper, in the order of keys, spilling to the
+     * default temporary directory.
+     * Elements within a group keep their original order. Every single group is held in memory while it is returned.
+     * Keys are not cached, the mapper is called for both elements of every comparison, so it must be cheap and pure.
+     *
+     * @param items source items
+     * @param keyMapper key mapping function
+     * @param keyComparator comparator defining the order and equality of keys
+     * @param serializer serializer used for spilling
+     * @param maxItemsInMemory maximum number of items held in memory
+     * @param <T> type of elements in the source
+     * @param <K> type of keys
+     * @return a lazy iterator over the groups, as key to elements entries
+     * @throws ExternalStorageException if spilling to temporary files fails
+     */
+    public static <T, K> CloseableIterator<Map.Entry<K, List<T>>> groupBy(Iterable<T> items,
+            Mapper<T, K> keyMapper, Comparator<? super K> keyComparator, RecordSerializer<T> serializer,
+            int maxItemsInMemory) {
+        return groupBy(items, keyMapper, keyComparator, serializer, maxItemsInMemory, null);
+    }
+
+    /**
+     * Groups the elements of a source by the key returned by the given mapper, in the order of keys.
+     * Elements within a group keep their original order. Every single group is held in memory while it is returned.
+     * Keys are not cached, the mapper is called for both elements of every comparison, so it must be cheap and pure.
+     *
+     * @param items source items
+     * @param keyMapper key mapping function
+     * @param keyComparator comparator defining the order and equality of keys
+     * @param serializer serializer used for spilling
+     * @param maxItemsInMemory maximum number of items held in memory
+     * @param spillDirectory directory for temporary files or null for the default temporary directory
+     * @param <T> type of elements in the source
+     * @param <K> type of keys
+     * @return a lazy iterator over the groups, as key to elements entries
+     * @throws ExternalStorageException if spilling to temporary files fails
+     */
+    public static <T, K> CloseableIterator<Map.Entry<K, List<T>>> groupBy(Iterable<T> items,
+            final Mapper<T, K> keyMapper, final Comparator<? super K> keyComparator, RecordSerializer<T> serializer,
+            int maxItemsInMemory, File spillDirectory) {
+        Comparator<T> comparator = new Comparator<T>() {
+            @Override
+            public int compare(T lhs, T rhs) {
+                return keyComparator.compare(keyMapper.map(lhs), keyMapper.map(rhs));
+            }
+        };
+
+        CloseableIterator<T> sorted = new ExternalSorter<>(comparator, serializer, maxItemsInMemory, false,
+                spillDirectory).sort(items);
+        return new GroupingIterator<>(sorted, keyMapper, keyComparator);
+    }
+
+    private static final class GroupingIterator<T, K> implements CloseableIterator<Map.Entry<K, List<T>>> {
+
+        private final CloseableIterator<T> sorted;
+        private final Mapper<T, K> keyMapper;
+        private final Comparator<? super K> keyComparator;
+
+        private T pending;
+        private boolean hasPending;
+
+        GroupingIterator(CloseableIterator<T> sorted, Mapper<T, K> keyMapper, Comparator<? super K> keyComparator) {
+            this.sorted = sorted;
+            this.keyMapper = keyMapper;
+            this.keyComparator = keyComparator;
+
+            if (sorted.hasNext()) {
+                pending = sorted.next();
+                hasPending = true;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return hasPending;
+        }
+
+        @Override
+        public Map.Entry<K, List<T>> next() {
+            if (!hasPending) {
+                throw new NoSuchElementException();
+            }
+
+            K key = keyMapper.map(pending);
+            List<T> group = new ArrayList<>();
+            group.add(pending);
+            hasPending = false;
+            pending = null;
+
+            while (sorted.hasNext()) {
+                T item = sorted.next();
+
+                if (keyComparator.compare(key, keyMapper.map(item)) != 0) {
+                    pending = item;
+                    hasPending = true;
+                    break;
+                }
+
+                group.add(item);
+            }
+
+            return new AbstractMap.SimpleImmutableEntry<>(key, group);
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void close() {
+            sorted.close();
+            hasPending = false;
+            pending = null;
+        }
+    }
+}
@@ -0,0 +1,404 @@
+/*
+ * Copyright (c) 2014 Simon Percic
+ *
+ * Get the latest version from:
+ * https://github.com/simonpercic/CollectionHelper
+ *
+ * Distributed under the MIT License, see LICENSE.txt for details
+ */
+
+package com.github.simonpercic.collectionhelper;
+
+import com.github.simonpercic.collectionhelper.exceptions.ExternalStorageException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * External merge sort.
+ * Sorts items in chunks of at most <tt>maxItemsInMemory</tt> and spills every chunk to a temporary file as a
+ * sorted run, in the given spill directory or the default temporary directory if <tt>null</tt>.
+ * Runs are merged at most {@link #MAX_MERGE_RUNS} at a time, and never more than <tt>maxItemsInMemory</tt> (but at
+ * least 2), since every open run holds its current item in memory. Larger numbers of runs are first merged into bigger
+ * runs on disk, so only a bounded number of files is open at once, each with a {@link #READ_BUFFER_SIZE} buffer.
+ * If everything fits into a single chunk, it is sorted in memory and never spilled.
+ * The sort is stable: ties are resolved by the order of runs, which follows the order of the source items.
+ *
+ * @author Simon Percic <a href="https://github.com/simonpercic">https://github.com/simonpercic</a>
+ */
+final class ExternalSorter<T> {
+
+    static final int MAX_MERGE_RUNS = 64;
+
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    private static final int READ_BUFFER_SIZE = 1 << 13;
+
+    private final Comparator<? super T> comparator;
+    private final RecordSerializer<T> serializer;
+    private final int maxItemsInMemory;
+    private final boolean distinct;
+    private final int maxMergeRuns;
+    private final File spillDirectory;
+
+    ExternalSorter(Comparator<? super T> comparator, RecordSerializer<T> serializer, int maxItemsInMemory,
+            boolean distinct, File spillDirectory) {
+        if (maxItemsInMemory < 1) {
+            throw new IllegalArgumentException("Invalid memory budget: " + maxItemsInMemory);
+        }
+
+        this.comparator = comparator;
+        this.serializer = serializer;
+        this.maxItemsInMemory = maxItemsInMemory;
+        this.distinct = distinct;
+        this.spillDirectory = spillDirectory;
+        this.maxMergeRuns = Math.max(2, Math.min(MAX_MERGE_RUNS, maxItemsInMemory));
+    }
+
+    CloseableIterator<T> sort(Iterable<T> items) {
+        List<T> chunk = new ArrayList<>();
+        List<Run<T>> runs = new ArrayList<>();
+
+        try {
+            if (items != null) {
+                for (T item : items) {
+                    chunk.add(item);
+
+                    if (chunk.size() == maxItemsInMemory) {
+                        runs.add(spill(chunk, runs.size()));
+                        chunk.clear();
+                    }
+                }
+            }
+
+            if (runs.isEmpty()) {
+                Collections.sort(chunk, comparator);
+                runs.add(new MemoryRun<>(chunk, 0));
+            } else {
+                // the chunk is spilled as well, so merging only holds the current item of every run in memory
+                if (!chunk.isEmpty()) {
+                    runs.add(spill(chunk, runs.size()));
+                    chunk.clear();
+                }
+
+                while (runs.size() > maxMergeRuns) {
+                    runs = mergePass(runs);
+                }
+            }
+
+            return new MergeIterator(runs);
+        } catch (IOException e) {
+            closeAll(runs);
+            throw new ExternalStorageException("Spilling to a temporary file failed!", e);
+        } catch (RuntimeException e) {
+            closeAll(runs);
+            throw e;
+        }
+    }
+
+    /**
+     * Merges consecutive groups of runs into single runs, keeping their order.
+     */
+    private List<Run<T>> mergePass(List<Run<T>> runs) throws IOException {
+        List<Run<T>> merged = new ArrayList<>();
+
+        try {
+            for (int from = 0; from < runs.size(); from += maxMergeRuns) {
+                List<Run<T>> group = runs.subList(from, Math.min(from + maxMergeRuns, runs.size()));
+
+                if (group.size() == 1) {
+                    Run<T> run = group.get(0);
+                    run.index = merged.size();
+                    merged.add(run);
+                } else {
+                    merged.add(merge(group, merged.size()));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            closeAll(merged);
+            throw e;
+        }
+
+        return merged;
+    }
+
+    private FileRun<T> merge(List<Run<T>> group, int index) throws IOException {
+        File file = File.createTempFile("collectionhelper", ".run", spillDirectory);
+        MergeIterator iterator = null;
+
+        try (DataOutputStream output = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file), WRITE_BUFFER_SIZE))) {
+            iterator = new MergeIterator(group);
+            long count = 0;
+
+            while (iterator.hasNext()) {
+                serializer.write(iterator.next(), output);
+                count++;
+            }
+
+            return new FileRun<>(file, count, serializer, index);
+        } catch (IOException | RuntimeException e) {
+            if (iterator != null) {
+                iterator.close();
+            }
+
+            //noinspection ResultOfMethodCallIgnored
+            file.delete();
+            throw e;
+        }
+    }
+
+    private FileRun<T> spill(List<T> chunk, int index) throws IOException {
+        Collections.sort(chunk, comparator);
+
+        File file = File.createTempFile("collectionhelper", ".run", spillDirectory);
+
+        try (DataOutputStream output = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file), WRITE_BUFFER_SIZE))) {
+            long count = 0;
+            T last = null;
+
+            for (T item : chunk) {
+                // duplicates within a run are dropped early to keep the files small
+                if (distinct && count > 0 && comparator.compare(item, last) == 0) {
+                    continue;
+                }
+
+                serializer.write(item, output);
+                last = item;
+                count++;
+            }
+
+            return new FileRun<>(file, count, serializer, index);
+        } catch (IOException | RuntimeException e) {
+            //noinspection ResultOfMethodCallIgnored
+            file.delete();
+            throw e;
+        }
+    }
+
+    private static void closeAll(Iterable<? extends Run<?>> runs) {
+        for (Run<?> run : runs) {
+            run.close();
+        }
+    }
+
+    private final class MergeIterator implements CloseableIterator<T> {
+
+        private final PriorityQueue<Run<T>> queue;
+
+        private T next;
+        private boolean hasNext;
+        private T last;
+        private boolean hasLast;
+
+        MergeIterator(List<Run<T>> runs) {
+            queue = new PriorityQueue<>(runs.size(), new Comparator<Run<T>>() {
+                @Override
+                public int compare(Run<T> lhs, Run<T> rhs) {
+                    int result = comparator.compare(lhs.head, rhs.head);
+                    return result != 0 ? result : Integer.compare(lhs.index, rhs.index);
+                }
+            });
+
+            try {
+                for (Run<T> run : runs) {
+                    if (run.advance()) {
+                        queue.add(run);
+                    } else {
+                        run.close();
+                    }
+                }
+            } catch (IOException e) {
+                closeAll(runs);
+                throw new ExternalStorageException("Reading a temporary file failed!", e);
+            } catch (RuntimeException e) {
+                closeAll(runs);
+                throw e;
+            }
+
+            computeNext();
+        }
+
+        private void computeNext() {
+            hasNext = false;
+
+            // the polled run is outside of the queue until re-added, so it has to be closed separately on failure
+            Run<T> run = null;
+
+            try {
+                while (!queue.isEmpty()) {
+                    run = queue.poll();
+                    T item = run.head;
+
+                    if (run.advance()) {
+                        queue.add(run);
+                    } else {
+                        run.close();
+                    }
+
+                    run = null;
+
+                    if (!distinct || !hasLast || comparator.compare(item, last) != 0) {
+                        next = item;
+                        hasNext = true;
+                        return;
+                    }
+                }
+            } catch (IOException e) {
+                closeFailed(run);
+                throw new ExternalStorageException("Reading a temporary file failed!", e);
+            } catch (RuntimeException e) {
+                closeFailed(run);
+                throw e;
+            }
+        }
+
+        private void closeFailed(Run<T> run) {
+            if (run != null) {
+                run.close();
+            }
+
+            close();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return hasNext;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext) {
+                throw new NoSuchElementException();
+            }
+
+            T result = next;
+            last = result;
+            hasLast = true;
+            next = null;
+
+            computeNext();
+
+            return result;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void close() {
+            closeAll(queue);
+            queue.clear();
+            hasNext = false;
+        }
+    }
+
+    private abstract static class Run<T> implements Closeable {
+        int index;
+        T head;
+
+        Run(int index) {
+            this.index = index;
+        }
+
+        /**
+         * Moves {@link #head} to the next item, returns <tt>false</tt> if the run is exhausted.
+         */
+        abstract boolean advance() throws IOException;
+
+        @Override
+        public abstract void close();
+    }
+
+    private static final class MemoryRun<T> extends Run<T> {
+        private final List<T> items;
+        private int position;
+
+        MemoryRun(List<T> items, int index) {
+            super(index);
+            this.items = items;
+        }
+
+        @Override
+        boolean advance() {
+            if (position == items.size()) {
+                head = null;
+                return false;
+            }
+
+            head = items.get(position++);
+            return true;
+        }
+
+        @Override
+        public void close() {
+            head = null;
+            position = items.size();
+        }
+    }
+
+    private static final class FileRun<T> extends Run<T> {
+        private final File file;
+        private final RecordSerializer<T> serializer;
+        private long remaining;
+        private DataInputStream input;
+
+        FileRun(File file, long count, RecordSerializer<T> serializer, int index) {
+            super(index);
+            this.file = file;
+            this.remaining = count;
+            this.serializer = serializer;
+        }
+
+        @Override
+        boolean advance() throws IOException {
+            if (remaining == 0) {
+                head = null;
+                return false;
+            }
+
+            if (input == null) {
+                input = new DataInputStream(new BufferedInputStream(new FileInputStream(file), READ_BUFFER_SIZE));
+            }
+
+            head = serializer.read(input);
+            remaining--;
+            return true;
+        }
+
+        @Override
+        public void close() {
+            head = null;
+            remaining = 0;
+
+            if (input != null) {
+                try {
+                    input.close();
+                } catch (IOException ignored) {
+                    // nothing left to read
+                }
+
+                input = null;
+            }
+
+            //noinspection ResultOfMethodCallIgnored
+            file.delete();
+        }
+    }
+}
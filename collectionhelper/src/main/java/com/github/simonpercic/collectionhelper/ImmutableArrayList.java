@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2014 Simon Percic
+ *
+ * Get the latest version from:
+ * https://github.com/simonpercic/CollectionHelper
+ *
+ * Distributed under the MIT License, see LICENSE.txt for details
+ */
+
+package com.github.simonpercic.collectionhelper;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Immutable list backed by an exactly sized array.
+ * The array is owned by the list and never exposed. Mutating methods throw {@link UnsupportedOperationException}.
+ * Serializable, like the empty and single element lists used for smaller results.
+ *
+ * @author Simon Percic <a href="https://github.com/simonpercic">https://github.com/simonpercic</a>
+ */
+final class ImmutableArrayList<T> extends AbstractList<T> implements RandomAccess, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Object[] items;
+
+    ImmutableArrayList(Object[] items) {
+        this.items = items;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T get(int index) {
+        return (T) items[index];
+    }
+
+    @Override
+    public int size() {
+        return items.length;
+    }
+
+    @Override
+    public Object[] toArray() {
+        return Arrays.copyOf(items, items.length, Object[].class);
+    }
+}
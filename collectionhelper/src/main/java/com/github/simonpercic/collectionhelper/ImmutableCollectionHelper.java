@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2014 Simon Percic
+ *
+ * Get the latest version from:
+ * https://github.com/simonpercic/CollectionHelper
+ *
+ * Distributed under the MIT License, see LICENSE.txt for details
+ */
+
+package com.github.simonpercic.collectionhelper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable collection helper.
+ * Same as the matching {@link CollectionHelper} methods, but returns compact immutable lists, suited for keeping in
+ * long-lived caches: backing arrays have no unused capacity, empty results share a single instance and single element
+ * results use a specialized list. Mutating the results throws {@link UnsupportedOperationException}.
+ *
+ * @author Simon Percic <a href="https://github.com/simonpercic">https://github.com/simonpercic</a>
+ */
+@SuppressWarnings("checkstyle:finalclass")
+public class ImmutableCollectionHelper {
+
+    private ImmutableCollectionHelper() {
+        // no instance
+    }
+
+    /**
+     * Filters a collection using the given predicate.
+     *
+     * @param items source items
+     * @param predicate predicate function
+     * @param <T> type of elements in the source collection
+     * @return a new filtered immutable list
+     */
+    public static <T> List<T> filter(Collection<T> items, Predicate<T> predicate) {
+        if (CollectionHelper.isEmpty(items)) {
+            return Collections.emptyList();
+        }
+
+        // only matches are buffered, the source is streamed, since it may not fit in memory (e.g. MappedRecordList)
+        List<T> matches = new ArrayList<>();
+
+        for (T item : items) {
+            if (predicate.apply(item)) {
+                matches.add(item);
+            }
+        }
+
+        // toArray() is exactly sized
+        return toList(matches.toArray(), matches.size());
+    }
+
+    /**
+     * Projects each element of a collection into a new collection.
+     *
+     * @param items source items
+     * @param mapper mapping function
+     * @param <TSource> type of elements in the source collection
+     * @param <TResult> type of elements in the resulting collection
+     * @return a new immutable list with projected element values
+     */
+    public static <TSource, TResult> List<TResult> map(Collection<TSource> items, Mapper<TSource, TResult> mapper) {
+        if (CollectionHelper.isEmpty(items)) {
+            return Collections.emptyList();
+        }
+
+        Object[] array = new Object[items.size()];
+        int size = 0;
+
+        for (TSource item : items) {
+            array[size++] = mapper.map(item);
+        }
+
+        return toList(array, size);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> toList(Object[] array, int size) {
+        switch (size) {
+            case 0:
+                return Collections.emptyList();
+            case 1:
+                return Collections.singletonList((T) array[0]);
+            default:
+                return new ImmutableArrayList<T>(size == array.length ? array : Arrays.copyOf(array, size));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2014 Simon Percic
+ *
+ * Get the latest version from:
+ * https://github.com/simonpercic/CollectionHelper
+ *
+ * Distributed under the MIT License, see LICENSE.txt for details
+ */
+
+package com.github.simonpercic.collectionhelper;
+
+/**
+ * Simple comparison predicate on <tt>int</tt> values.
+ * Every comparison is represented as an inclusive range, which allows {@link PrimitiveCollectionHelper} to evaluate
+ * it with a single (optionally vectorized) kernel.
+ *
+ * @author Simon Percic <a href="https://github.com/simonpercic">https://github.com/simonpercic</a>
+ */
+public final class IntComparison implements Predicate<Integer> {
+
+    private static final IntComparison NONE = new IntComparison(Integer.MAX_VALUE, Integer.MIN_VALUE);
+
+    final int min;
+    final int max;
+
+    private IntComparison(int min, int max) {
+        this.min = min;
+        this.max = max;
+    }
+
+    /**
+     * Matches values greater than the given value.
+     *
+     * @param value value to compare to
+     * @return comparison predicate
+     */
+    public static IntComparison gt(int value) {
+        return value == Integer.MAX_VALUE ? NONE : new IntComparison(value + 1, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Matches values greater than or equal to the given value.
+     *
+     * @param value value to compare to
+     * @return comparison predicate
+     */
+    public static IntComparison ge(int value) {
+        return new IntComparison(value, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Matches values less than the given value.
+     *
+     * @param value value to compare to
+     * @return comparison predicate
+     */
+    public static IntComparison lt(int value) {
+        return value == Integer.MIN_VALUE ? NONE : new IntComparison(Integer.MIN_VALUE, value - 1);
+    }
+
+    /**
+     * Matches values less than or equal to the given value.
+     *
+     * @param value value to compare to
+     * @return comparison predicate
+     */
+    public static IntComparison le(int value) {
+        return new IntComparison(Integer.MIN_VALUE, value);
+    }
+
+    /**
+     * Matches values equal to the given value.
+     *
+     * @param value value to compare to
+     * @return comparison predicate
+     */
+    public static IntComparison eq(int value) {
+        return new IntComparison(value, value);
+    }
+
+    /**
+     * Matches values between the given bounds, both inclusive.
+     * Matches nothing if <tt>min</tt> is greater than <tt>max</tt>.
+     *
+     * @param min lower bound, inclusive
+     * @param max upper bound, inclusive
+     * @return comparison predicate
+     */
+    public static IntComparison between(int min, int max) {
+        return new IntComparison(min, max);
+    }
+
+    /**
+     * Returns <tt>true</tt> if the given value matches this comparison.
+     *
+     * @param value the value being tested
+     * @return <tt>true</tt> if the given value matches this comparison
+     */
+    public boolean matches(int value) {
+        return value >= min && value <= max;
+    }
+
+    @Override
+    public boolean apply(Integer object) {
+        return matches(object);
+    }
+}
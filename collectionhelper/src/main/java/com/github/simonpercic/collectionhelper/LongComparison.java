@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2014 Simon Percic
+ *
+ * Get the latest version from:
+ * https://github.com/simonpercic/CollectionHelper
+ *
+ * Distributed under the MIT License, see LICENSE.txt for details
+ */
+
+package com.github.simonpercic.collectionhelper;
+
+/**
+ * Simple comparison predicate on <tt>long</tt> values.
+ * Every comparison is represented as an inclusive range, which allows {@link PrimitiveCollectionHelper} to evaluate
+ * it with a single (optionally vectorized) kernel.
+ *
+ * @author Simon Percic <a href="https://github.com/simonpercic">https://github.com/simonpercic</a>
+ */
+public final class LongComparison implements Predicate<Long> {
+
+    private static final LongComparison NONE = new LongComparison(Long.MAX_VALUE, Long.MIN_VALUE);
+
+    final long min;
+    final long max;
+
+    private LongComparison(long min, long max) {
+        this.min = min;
+        this.max = max;
+    }
+
+    /**
+     * Matches values greater than the given value.
+     *
+     * @param value value to compare to
+     * @return comparison predicate
+     */
+    public static LongComparison gt(long value) {
+        return value == Long.MAX_VALUE ? NONE : new LongComparison(value + 1, Long.MAX_VALUE);
+    }
+
+    /**
+     * Matches values greater than or equal to the given value.
+     *
+     * @param value value to compare to
+     * @return comparison predicate
+     */
+    public static LongComparison ge(long value) {
+        return new LongComparison(value, Long.MAX_VALUE);
+    }
+
+    /**
+     * Matches values less than the given value.
+     *
+     * @param value value to compare to
+     * @return comparison predicate
+     */
+    public static LongComparison lt(long value) {
+        return value == Long.MIN_VALUE ? NONE : new LongComparison(Long.MIN_VALUE, value - 1);
+    }
+
+    /**
+     * Matches values less than or equal to the given value.
+     *
+     * @param value value to compare to
+     * @return comparison predicate
+     */
+    public static LongComparison le(long value) {
+        return new LongComparison(Long.MIN_VALUE, value);
+    }
+
+    /**
+     * Matches values equal to the given value.
+     *
+     * @param value value to compare to
+     * @return comparison predicate
+     */
+    public static LongComparison eq(long value) {
+        return new LongComparison(value, value);
+    }
+
+    /**
+     * Matches values between the given bounds, both inclusive.
+     * Matches nothing if <tt>min</tt> is greater than <tt>max</tt>.
+     *
+     * @param min lower bound, inclusive
+     * @param max upper bound, inclusive
+     * @return comparison predicate
+     */
+    public static LongComparison between(long min, long max) {
+        return new LongComparison(min, max);
+    }
+
+    /**
+     * Returns <tt>true</tt> if the given value matches this comparison.
+     *
+     * @param value the value being tested
+     * @return <tt>true</tt> if the given value matches this comparison
+     */
+    public boolean matches(long value) {
+        return value >= min && value <= max;
+    }
+
+    @Override
+    public boolean apply(Long object) {
+        return matches(object);
+    }
+}
@@ -0,0 +1,314 @@
+/*
+ * Copyright (c) 2014 Simon Percic
+ *
+ * Get the latest version from:
+ * https://github.com/simonpercic/CollectionHelper
+ *
+ * Distributed under the MIT License, see LICENSE.txt for details
+ */
+
+package com.github.simonpercic.collectionhelper;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Read-only list of fixed-width records, stored in a memory-mapped file.
+ * Records are decoded on access using a {@link RecordCodec}, so datasets larger than the heap can be queried with
+ * {@link CollectionHelper}. The column-level methods read <tt>int</tt> or <tt>long</tt> fields straight from the mapped
+ * file and only decode the records that match.
+ * Files are mapped in segments of up to 1 GB, records never span two segments.
+ * <p>
+ * The mappings cannot be released explicitly, there is no <tt>close()</tt>: the file stays mapped until the list and
+ * every list derived from it (e.g. its iterators and sub lists) are garbage collected. Until then the file cannot be
+ * deleted or replaced on Windows. The file must not be truncated or rewritten in place while it is mapped, reading a
+ * truncated mapping crashes the JVM (SIGBUS) and rewritten records are seen partially. Write a new file with
+ * {@link #write(File, Iterable, RecordCodec)} and open that instead.
+ * Reading is thread-safe, as long as the codec only uses absolute buffer access.
+ *
+ * @param <T> type of records
+ * @author Simon Percic <a href="https://github.com/simonpercic">https://github.com/simonpercic</a>
+ */
+public final class MappedRecordList<T> extends AbstractList<T> implements RandomAccess {
+
+    private static final int DEFAULT_SEGMENT_SIZE = 1 << 30;
+
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    private final RecordCodec<T> codec;
+    private final int recordSize;
+    private final int recordsPerSegment;
+    private final int size;
+    private final MappedByteBuffer[] segments;
+
+    private MappedRecordList(RecordCodec<T> codec, int recordsPerSegment, int size, MappedByteBuffer[] segments) {
+        this.codec = codec;
+        this.recordSize = codec.recordSize();
+        this.recordsPerSegment = recordsPerSegment;
+        this.size = size;
+        this.segments = segments;
+    }
+
+    /**
+     * Maps the given file of fixed-width records.
+     *
+     * @param file source file
+     * @param codec record codec
+     * @param <T> type of records
+     * @return a new list backed by the mapped file
+     * @throws IOException if the file cannot be mapped or its length is not a multiple of the record size
+     */
+    public static <T> MappedRecordList<T> open(File file, RecordCodec<T> codec) throws IOException {
+        return open(file, codec, DEFAULT_SEGMENT_SIZE);
+    }
+
+    static <T> MappedRecordList<T> open(File file, RecordCodec<T> codec, int segmentSize) throws IOException {
+        int recordSize = checkRecordSize(codec);
+        if (recordSize > segmentSize) {
+            throw new IllegalArgumentException("Invalid record size: " + recordSize);
+        }
+
+        // the mappings stay valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length % recordSize != 0) {
+                throw new IOException("File length is not a multiple of the record size: " + file);
+            }
+
+            long records = length / recordSize;
+            if (records > Integer.MAX_VALUE) {
+                throw new IOException("Too many records: " + file);
+            }
+
+            int recordsPerSegment = segmentSize / recordSize;
+            int segmentCount = (int) ((records + recordsPerSegment - 1) / recordsPerSegment);
+            MappedByteBuffer[] segments = new MappedByteBuffer[segmentCount];
+
+            for (int i = 0; i < segmentCount; i++) {
+                long position = (long) i * recordsPerSegment * recordSize;
+                long segmentLength = Math.min((long) recordsPerSegment * recordSize, length - position);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, segmentLength);
+            }
+
+            return new MappedRecordList<>(codec, recordsPerSegment, (int) records, segments);
+        }
+    }
+
+    /**
+     * Writes the given records to a file, replacing its contents, in the format read by {@link #open(File,
+     * RecordCodec)}.
+     *
+     * @param file target file
+     * @param records records to write
+     * @param codec record codec
+     * @param <T> type of records
+     * @throws IOException if writing fails
+     */
+    public static <T> void write(File file, Iterable<? extends T> records, RecordCodec<T> codec) throws IOException {
+        int recordSize = checkRecordSize(codec);
+        ByteBuffer buffer = ByteBuffer.allocate(Math.max(recordSize, WRITE_BUFFER_SIZE / recordSize * recordSize));
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (T record : records) {
+                if (buffer.remaining() < recordSize) {
+                    flush(channel, buffer);
+                }
+
+                codec.encode(record, buffer, buffer.position());
+                buffer.position(buffer.position() + recordSize);
+            }
+
+            flush(channel, buffer);
+        }
+    }
+
+    private static int checkRecordSize(RecordCodec<?> codec) {
+        int recordSize = codec.recordSize();
+        if (recordSize <= 0) {
+            throw new IllegalArgumentException("Invalid record size: " + recordSize);
+        }
+
+        return recordSize;
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+
+        buffer.clear();
+    }
+
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+
+        return codec.decode(segments[index / recordsPerSegment], index % recordsPerSegment * recordSize);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of records whose <tt>int</tt> field at the given offset matches the given comparison.
+     *
+     * @param fieldOffset offset of the field within a record, in bytes
+     * @param comparison comparison predicate
+     * @return the number of matching records
+     */
+    public int count(int fieldOffset, IntComparison comparison) {
+        checkFieldOffset(fieldOffset, 4);
+
+        int count = 0;
+
+        for (MappedByteBuffer segment : segments) {
+            for (int offset = fieldOffset; offset < segment.limit(); offset += recordSize) {
+                if (comparison.matches(segment.getInt(offset))) {
+                    count++;
+                }
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Returns the number of records whose <tt>long</tt> field at the given offset matches the given comparison.
+     *
+     * @param fieldOffset offset of the field within a record, in bytes
+     * @param comparison comparison predicate
+     * @return the number of matching records
+     */
+    public int count(int fieldOffset, LongComparison comparison) {
+        checkFieldOffset(fieldOffset, 8);
+
+        int count = 0;
+
+        for (MappedByteBuffer segment : segments) {
+            for (int offset = fieldOffset; offset < segment.limit(); offset += recordSize) {
+                if (comparison.matches(segment.getLong(offset))) {
+                    count++;
+                }
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Returns the index of the first record whose <tt>int</tt> field at the given offset matches the given comparison.
+     * Returns {@link CollectionHelper#NOT_FOUND_INDEX} if no record matches.
+     *
+     * @param fieldOffset offset of the field within a record, in bytes
+     * @param comparison comparison predicate
+     * @return index of the first matching record or {@link CollectionHelper#NOT_FOUND_INDEX} if no record matches
+     */
+    public int firstIndexOf(int fieldOffset, IntComparison comparison) {
+        checkFieldOffset(fieldOffset, 4);
+
+        for (int i = 0; i < segments.length; i++) {
+            MappedByteBuffer segment = segments[i];
+
+            for (int offset = fieldOffset; offset < segment.limit(); offset += recordSize) {
+                if (comparison.matches(segment.getInt(offset))) {
+                    return i * recordsPerSegment + offset / recordSize;
+                }
+            }
+        }
+
+        return CollectionHelper.NOT_FOUND_INDEX;
+    }
+
+    /**
+     * Returns the index of the first record whose <tt>long</tt> field at the given offset matches the given
+     * comparison. Returns {@link CollectionHelper#NOT_FOUND_INDEX} if no record matches.
+     *
+     * @param fieldOffset offset of the field within a record, in bytes
+     * @param comparison comparison predicate
+     * @return index of the first matching record or {@link CollectionHelper#NOT_FOUND_INDEX} if no record matches
+     */
+    public int firstIndexOf(int fieldOffset, LongComparison comparison) {
+        checkFieldOffset(fieldOffset, 8);
+
+        for (int i = 0; i < segments.length; i++) {
+            MappedByteBuffer segment = segments[i];
+
+            for (int offset = fieldOffset; offset < segment.limit(); offset += recordSize) {
+                if (comparison.matches(segment.getLong(offset))) {
+                    return i * recordsPerSegment + offset / recordSize;
+                }
+            }
+        }
+
+        return CollectionHelper.NOT_FOUND_INDEX;
+    }
+
+    /**
+     * Returns the records whose <tt>int</tt> field at the given offset matches the given comparison.
+     * Only the matching records are decoded.
+     *
+     * @param fieldOffset offset of the field within a record, in bytes
+     * @param comparison comparison predicate
+     * @return a new list of matching records
+     */
+    public List<T> filter(int fieldOffset, IntComparison comparison) {
+        checkFieldOffset(fieldOffset, 4);
+
+        List<T> result = new ArrayList<>();
+
+        for (MappedByteBuffer segment : segments) {
+            for (int offset = fieldOffset; offset < segment.limit(); offset += recordSize) {
+                if (comparison.matches(segment.getInt(offset))) {
+                    result.add(codec.decode(segment, offset - fieldOffset));
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the records whose <tt>long</tt> field at the given offset matches the given comparison.
+     * Only the matching records are decoded.
+     *
+     * @param fieldOffset offset of the field within a record, in bytes
+     * @param comparison comparison predicate
+     * @return a new list of matching records
+     */
+    public List<T> filter(int fieldOffset, LongComparison comparison) {
+        checkFieldOffset(fieldOffset, 8);
+
+        List<T> result = new ArrayList<>();
+
+        for (MappedByteBuffer segment : segments) {
+            for (int offset = fieldOffset; offset < segment.limit(); offset += recordSize) {
+                if (comparison.matches(segment.getLong(offset))) {
+                    result.add(codec.decode(segment, offset - fieldOffset));
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private void checkFieldOffset(int fieldOffset, int fieldSize) {
+        if (fieldOffset < 0 || fieldOffset > recordSize - fieldSize) {
+            throw new IllegalArgumentException("Invalid field offset: " + fieldOffset);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2014 Simon Percic
+ *
+ * Get the latest version from:
+ * https://github.com/simonpercic/CollectionHelper
+ *
+ * Distributed under the MIT License, see LICENSE.txt for details
+ */
+
+package com.github.simonpercic.collectionhelper;
+
+import com.github.simonpercic.collectionhelper.exceptions.InvalidOperationException;
+
+/**
+ * Primitive collection helper.
+ * A set of static utility methods for filtering and aggregating primitive arrays without boxing.
+ * On Java 17+ with the <tt>jdk.incubator.vector</tt> module added, the multi-release JAR uses SIMD kernels, which
+ * produce exactly the same results as the scalar ones.
+ *
+ * @author Simon Percic <a href="https://github.com/simonpercic">https://github.com/simonpercic</a>
+ */
+@SuppressWarnings("checkstyle:finalclass")
+public class PrimitiveCollectionHelper {
+
+    private static final int[] EMPTY_INT_ARRAY = new int[0];
+    private static final long[] EMPTY_LONG_ARRAY = new long[0];
+
+    private PrimitiveCollectionHelper() {
+        // no instance
+    }
+
+    /**
+     * Filters an array using the given comparison.
+     *
+     * @param items source items
+     * @param comparison comparison predicate
+     * @return a new filtered array
+     */
+    public static int[] filter(int[] items, IntComparison comparison) {
+        if (isEmpty(items)) {
+            return EMPTY_INT_ARRAY;
+        }
+
+        return PrimitiveKernels.filter(items, comparison.min, comparison.max);
+    }
+
+    /**
+     * Filters an array using the given comparison.
+     *
+     * @param items source items
+     * @param comparison comparison predicate
+     * @return a new filtered array
+     */
+    public static long[] filter(long[] items, LongComparison comparison) {
+        if (isEmpty(items)) {
+            return EMPTY_LONG_ARRAY;
+        }
+
+        return PrimitiveKernels.filter(items, comparison.min, comparison.max);
+    }
+
+    /**
+     * Returns the number of elements in an array matching the given comparison.
+     *
+     * @param items source items
+     * @param comparison comparison predicate
+     * @return the number of elements in an array matching the given comparison
+     */
+    public static int count(int[] items, IntComparison comparison) {
+        if (isEmpty(items)) {
+            return 0;
+        }
+
+        return PrimitiveKernels.count(items, comparison.min, comparison.max);
+    }
+
+    /**
+     * Returns the number of elements in an array matching the given comparison.
+     *
+     * @param items source items
+     * @param comparison comparison predicate
+     * @return the number of elements in an array matching the given comparison
+     */
+    public static int count(long[] items, LongComparison comparison) {
+        if (isEmpty(items)) {
+            return 0;
+        }
+
+        return PrimitiveKernels.count(items, comparison.min, comparison.max);
+    }
+
+    /**
+     * Returns the sum of all elements in an array.
+     * Returns 0 if the array is null or empty.
+     *
+     * @param items source items
+     * @return the sum of all elements, widened to <tt>long</tt> so it cannot overflow
+     */
+    public static long sum(int[] items) {
+        if (isEmpty(items)) {
+            return 0;
+        }
+
+        return PrimitiveKernels.sum(items);
+    }
+
+    /**
+     * Returns the sum of all elements in an array.
+     * Returns 0 if the array is null or empty. Overflows silently, just like <tt>long</tt> addition.
+     *
+     * @param items source items
+     * @return the sum of all elements
+     */
+    public static long sum(long[] items) {
+        if (isEmpty(items)) {
+            return 0;
+        }
+
+        return PrimitiveKernels.sum(items);
+    }
+
+    /**
+     * Returns the minimum element of an array.
+     * Throws a {@link InvalidOperationException} if the array is null or empty.
+     *
+     * @param items source items
+     * @return the minimum element
+     * @throws InvalidOperationException if the array is null or empty
+     */
+    public static int min(int[] items) {
+        if (isEmpty(items)) {
+            throw new InvalidOperationException("No items!");
+        }
+
+        return PrimitiveKernels.min(items);
+    }
+
+    /**
+     * Returns the minimum element of an array.
+     * Throws a {@link InvalidOperationException} if the array is null or empty.
+     *
+     * @param items source items
+     * @return the minimum element
+     * @throws InvalidOperationException if the array is null or empty
+     */
+    public static long min(long[] items) {
+        if (isEmpty(items)) {
+            throw new InvalidOperationException("No items!");
+        }
+
+        return PrimitiveKernels.min(items);
+    }
+
+    /**
+     * Returns the maximum element of an array.
+     * Throws a {@link InvalidOperationException} if the array is null or empty.
+     *
+     * @param items source items
+     * @return the maximum element
+     * @throws InvalidOperationException if the array is null or empty
+     */
+    public static int max(int[] items) {
+        if (isEmpty(items)) {
+            throw new InvalidOperationException("No items!");
+        }
+
+        return PrimitiveKernels.max(items);
+    }
+
+    /**
+     * Returns the maximum element of an array.
+     * Throws a {@link InvalidOperationException} if the array is null or empty.
+     *
+     * @param items source items
+     * @return the maximum element
+     * @throws InvalidOperationException if the array is null or empty
+     */
+    public static long max(long[] items) {
+        if (isEmpty(items)) {
+            throw new InvalidOperationException("No items!");
+        }
+
+        return PrimitiveKernels.max(items);
+    }
+
+    private static boolean isEmpty(int[] items) {
+        return items == null || items.length == 0;
+    }
+
+    private static boolean isEmpty(long[] items) {
+        return items == null || items.length == 0;
+    }
+}
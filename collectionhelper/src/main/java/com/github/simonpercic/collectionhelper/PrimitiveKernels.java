@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2014 Simon Percic
+ *
+ * Get the latest version from:
+ * https://github.com/simonpercic/CollectionHelper
+ *
+ * Distributed under the MIT License, see LICENSE.txt for details
+ */
+
+package com.github.simonpercic.collectionhelper;
+
+/**
+ * Primitive array kernels used by {@link PrimitiveCollectionHelper}.
+ * This is the Java 7 baseline, which always uses {@link ScalarKernels}. The multi-release JAR replaces this class with
+ * a vectorized variant on Java 17 and newer (see <tt>src/main/java17</tt>).
+ *
+ * @author Simon Percic <a href="https://github.com/simonpercic">https://github.com/simonpercic</a>
+ */
+final class PrimitiveKernels {
+
+    private PrimitiveKernels() {
+        // no instance
+    }
+
+    static int count(int[] items, int min, int max) {
+        return ScalarKernels.count(items, min, max);
+    }
+
+    static int count(long[] items, long min, long max) {
+        return ScalarKernels.count(items, min, max);
+    }
+
+    static int[] filter(int[] items, int min, int max) {
+        return ScalarKernels.filter(items, min, max);
+    }
+
+    static long[] filter(long[] items, long min, long max) {
+        return ScalarKernels.filter(items, min, max);
+    }
+
+    static long sum(int[] items) {
+        return ScalarKernels.sum(items);
+    }
+
+    static long sum(long[] items) {
+        return ScalarKernels.sum(items);
+    }
+
+    static int min(int[] items) {
+        return ScalarKernels.min(items);
+    }
+
+    static long min(long[] items) {
+        return ScalarKernels.min(items);
+    }
+
+    static int max(int[] items) {
+        return ScalarKernels.max(items);
+    }
+
+    static long max(long[] items) {
+        return ScalarKernels.max(items);
+    }
+}
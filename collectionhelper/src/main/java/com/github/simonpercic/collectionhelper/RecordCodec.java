@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2014 Simon Percic
+ *
+ * Get the latest version from:
+ * https://github.com/simonpercic/CollectionHelper
+ *
+ * Distributed under the MIT License, see LICENSE.txt for details
+ */
+
+package com.github.simonpercic.collectionhelper;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Fixed-width record codec, used by {@link MappedRecordList}.
+ * Implementations must only use the absolute <tt>get</tt> and <tt>put</tt> methods of the given buffer, so that
+ * records can be decoded concurrently.
+ *
+ * @author Simon Percic <a href="https://github.com/simonpercic">https://github.com/simonpercic</a>
+ */
+public interface RecordCodec<T> {
+    /**
+     * Should return the size of every encoded record, in bytes.
+     *
+     * @return record size in bytes
+     */
+    int recordSize();
+
+    /**
+     * Should decode the record starting at the given offset.
+     *
+     * @param buffer source buffer
+     * @param offset offset of the first byte of the record
+     * @return decoded record
+     */
+    T decode(ByteBuffer buffer, int offset);
+
+    /**
+     * Should encode the record, writing exactly {@link #recordSize()} bytes starting at the given offset.
+     *
+     * @param record record to encode
+     * @param buffer target buffer
+     * @param offset offset of the first byte of the record
+     */
+    void encode(T record, ByteBuffer buffer, int offset);
+}
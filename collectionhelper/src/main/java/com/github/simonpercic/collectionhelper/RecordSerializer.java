@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2014 Simon Percic
+ *
+ * Get the latest version from:
+ * https://github.com/simonpercic/CollectionHelper
+ *
+ * Distributed under the MIT License, see LICENSE.txt for details
+ */
+
+package com.github.simonpercic.collectionhelper;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Binary record serializer, used by {@link ExternalCollectionHelper} to spill records to temporary files.
+ *
+ * @author Simon Percic <a href="https://github.com/simonpercic">https://github.com/simonpercic</a>
+ */
+public interface RecordSerializer<T> {
+    /**
+     * Should write the given record to the output.
+     *
+     * @param record record to write
+     * @param output target output
+     * @throws IOException if writing fails
+     */
+    void write(T record, DataOutput output) throws IOException;
+
+    /**
+     * Should read a single record, written by {@link #write(Object, DataOutput)}, from the input.
+     *
+     * @param input source input
+     * @return the record read
+     * @throws IOException if reading fails
+     */
+    T read(DataInput input) throws IOException;
+}
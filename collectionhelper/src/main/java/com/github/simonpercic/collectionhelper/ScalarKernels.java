@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2014 Simon Percic
+ *
+ * Get the latest version from:
+ * https://github.com/simonpercic/CollectionHelper
+ *
+ * Distributed under the MIT License, see LICENSE.txt for details
+ */
+
+package com.github.simonpercic.collectionhelper;
+
+import java.util.Arrays;
+
+/**
+ * Scalar primitive array kernels.
+ * The reference implementation, every other kernel must produce exactly the same results.
+ *
+ * @author Simon Percic <a href="https://github.com/simonpercic">https://github.com/simonpercic</a>
+ */
+final class ScalarKernels {
+
+    private ScalarKernels() {
+        // no instance
+    }
+
+    static int count(int[] items, int min, int max) {
+        int count = 0;
+
+        for (int item : items) {
+            if (item >= min && item <= max) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    static int count(long[] items, long min, long max) {
+        int count = 0;
+
+        for (long item : items) {
+            if (item >= min && item <= max) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    static int[] filter(int[] items, int min, int max) {
+        int[] result = new int[items.length];
+        int size = 0;
+
+        for (int item : items) {
+            if (item >= min && item <= max) {
+                result[size++] = item;
+            }
+        }
+
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    static long[] filter(long[] items, long min, long max) {
+        long[] result = new long[items.length];
+        int size = 0;
+
+        for (long item : items) {
+            if (item >= min && item <= max) {
+                result[size++] = item;
+            }
+        }
+
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    static long sum(int[] items) {
+        long sum = 0;
+
+        for (int item : items) {
+            sum += item;
+        }
+
+        return sum;
+    }
+
+    static long sum(long[] items) {
+        long sum = 0;
+
+        for (long item : items) {
+            sum += item;
+        }
+
+        return sum;
+    }
+
+    static int min(int[] items) {
+        int min = Integer.MAX_VALUE;
+
+        for (int item : items) {
+            if (item < min) {
+                min = item;
+            }
+        }
+
+        return min;
+    }
+
+    static long min(long[] items) {
+        long min = Long.MAX_VALUE;
+
+        for (long item : items) {
+            if (item < min) {
+                min = item;
+            }
+        }
+
+        return min;
+    }
+
+    static int max(int[] items) {
+        int max = Integer.MIN_VALUE;
+
+        for (int item : items) {
+            if (item > max) {
+                max = item;
+            }
+        }
+
+        return max;
+    }
+
+    static long max(long[] items) {
+        long max = Long.MIN_VALUE;
+
+        for (long item : items) {
+            if (item > max) {
+                max = item;
+            }
+        }
+
+        return max;
+    }
+}
@@ -0,0 +1,22 @@
+/*
+ * Copyright (c) 2014 Simon Percic
+ *
+ * Get the latest version from:
+ * https://github.com/simonpercic/CollectionHelper
+ *
+ * Distributed under the MIT License, see LICENSE.txt for details
+ */
+
+package com.github.simonpercic.collectionhelper.exceptions;
+
+/**
+ * External storage exception, thrown when spilling to or reading from temporary files fails.
+ * Extends {@link java.lang.RuntimeException}
+ *
+ * @author Simon Percic <a href="https://github.com/simonpercic">https://github.com/simonpercic</a>
+ */
+public class ExternalStorageException extends RuntimeException {
+    public ExternalStorageException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2014 Simon Percic
+ *
+ * Get the latest version from:
+ * https://github.com/simonpercic/CollectionHelper
+ *
+ * Distributed under the MIT License, see LICENSE.txt for details
+ */
+
+package com.github.simonpercic.collectionhelper;
+
+/**
+ * Primitive array kernels used by {@link PrimitiveCollectionHelper}.
+ * Java 17+ variant, packaged under <tt>META-INF/versions/17</tt>. Uses {@link VectorKernels} when the
+ * <tt>jdk.incubator.vector</tt> module is available (<tt>--add-modules jdk.incubator.vector</tt>) and falls back to
+ * {@link ScalarKernels} otherwise.
+ *
+ * @author Simon Percic <a href="https://github.com/simonpercic">https://github.com/simonpercic</a>
+ */
+final class PrimitiveKernels {
+
+    // VectorKernels must not be touched unless the incubator module is resolved
+    static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+            && VectorKernels.isSupported();
+
+    private PrimitiveKernels() {
+        // no instance
+    }
+
+    static int count(int[] items, int min, int max) {
+        return VECTORIZED ? VectorKernels.count(items, min, max) : ScalarKernels.count(items, min, max);
+    }
+
+    static int count(long[] items, long min, long max) {
+        return VECTORIZED ? VectorKernels.count(items, min, max) : ScalarKernels.count(items, min, max);
+    }
+
+    static int[] filter(int[] items, int min, int max) {
+        return VECTORIZED ? VectorKernels.filter(items, min, max) : ScalarKernels.filter(items, min, max);
+    }
+
+    static long[] filter(long[] items, long min, long max) {
+        return VECTORIZED ? VectorKernels.filter(items, min, max) : ScalarKernels.filter(items, min, max);
+    }
+
+    static long sum(int[] items) {
+        return VECTORIZED ? VectorKernels.sum(items) : ScalarKernels.sum(items);
+    }
+
+    static long sum(long[] items) {
+        return VECTORIZED ? VectorKernels.sum(items) : ScalarKernels.sum(items);
+    }
+
+    static int min(int[] items) {
+        return VECTORIZED ? VectorKernels.min(items) : ScalarKernels.min(items);
+    }
+
+    static long min(long[] items) {
+        return VECTORIZED ? VectorKernels.min(items) : ScalarKernels.min(items);
+    }
+
+    static int max(int[] items) {
+        return VECTORIZED ? VectorKernels.max(items) : ScalarKernels.max(items);
+    }
+
+    static long max(long[] items) {
+        return VECTORIZED ? VectorKernels.max(items) : ScalarKernels.max(items);
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2014 Simon Percic
+ *
+ * Get the latest version from:
+ * https://github.com/simonpercic/CollectionHelper
+ *
+ * Distributed under the MIT License, see LICENSE.txt for details
+ */
+
+package com.github.simonpercic.collectionhelper;
+
+import java.util.Arrays;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD primitive array kernels, built on the <tt>jdk.incubator.vector</tt> API.
+ * Only integral types are vectorized, so reordering additions and comparisons yields exactly the same results as
+ * {@link ScalarKernels}. Tails shorter than a vector are processed by scalar loops.
+ *
+ * @author Simon Percic <a href="https://github.com/simonpercic">https://github.com/simonpercic</a>
+ */
+final class VectorKernels {
+
+    private static final VectorSpecies<Integer> INT_SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONG_SPECIES = LongVector.SPECIES_PREFERRED;
+
+    private VectorKernels() {
+        // no instance
+    }
+
+    /**
+     * Returns <tt>true</tt> if the platform has actual SIMD registers, the API runs in (slow) pure Java otherwise.
+     */
+    static boolean isSupported() {
+        return LONG_SPECIES.length() > 1;
+    }
+
+    static int count(int[] items, int min, int max) {
+        int count = 0;
+        int i = 0;
+
+        for (int bound = INT_SPECIES.loopBound(items.length); i < bound; i += INT_SPECIES.length()) {
+            count += range(IntVector.fromArray(INT_SPECIES, items, i), min, max).trueCount();
+        }
+
+        for (; i < items.length; i++) {
+            if (items[i] >= min && items[i] <= max) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    static int count(long[] items, long min, long max) {
+        int count = 0;
+        int i = 0;
+
+        for (int bound = LONG_SPECIES.loopBound(items.length); i < bound; i += LONG_SPECIES.length()) {
+            count += range(LongVector.fromArray(LONG_SPECIES, items, i), min, max).trueCount();
+        }
+
+        for (; i < items.length; i++) {
+            if (items[i] >= min && items[i] <= max) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    static int[] filter(int[] items, int min, int max) {
+        int[] result = new int[items.length];
+        int size = 0;
+        int i = 0;
+
+        // Vector.compress() is not available before Java 19, so matching lanes are copied one by one
+        for (int bound = INT_SPECIES.loopBound(items.length); i < bound; i += INT_SPECIES.length()) {
+            long lanes = range(IntVector.fromArray(INT_SPECIES, items, i), min, max).toLong();
+
+            while (lanes != 0) {
+                result[size++] = items[i + Long.numberOfTrailingZeros(lanes)];
+                lanes &= lanes - 1;
+            }
+        }
+
+        for (; i < items.length; i++) {
+            if (items[i] >= min && items[i] <= max) {
+                result[size++] = items[i];
+            }
+        }
+
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    static long[] filter(long[] items, long min, long max) {
+        long[] result = new long[items.length];
+        int size = 0;
+        int i = 0;
+
+        for (int bound = LONG_SPECIES.loopBound(items.length); i < bound; i += LONG_SPECIES.length()) {
+            long lanes = range(LongVector.fromArray(LONG_SPECIES, items, i), min, max).toLong();
+
+            while (lanes != 0) {
+                result[size++] = items[i + Long.numberOfTrailingZeros(lanes)];
+                lanes &= lanes - 1;
+            }
+        }
+
+        for (; i < items.length; i++) {
+            if (items[i] >= min && items[i] <= max) {
+                result[size++] = items[i];
+            }
+        }
+
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    static long sum(int[] items) {
+        // ints are widened to longs (two halves of the same shape) before adding, so the sum cannot overflow
+        LongVector sum = LongVector.zero(LONG_SPECIES);
+        int i = 0;
+
+        for (int bound = INT_SPECIES.loopBound(items.length); i < bound; i += INT_SPECIES.length()) {
+            IntVector vector = IntVector.fromArray(INT_SPECIES, items, i);
+            sum = sum.add(vector.convertShape(VectorOperators.I2L, LONG_SPECIES, 0))
+                    .add(vector.convertShape(VectorOperators.I2L, LONG_SPECIES, 1));
+        }
+
+        long result = sum.reduceLanes(VectorOperators.ADD);
+
+        for (; i < items.length; i++) {
+            result += items[i];
+        }
+
+        return result;
+    }
+
+    static long sum(long[] items) {
+        LongVector sum = LongVector.zero(LONG_SPECIES);
+        int i = 0;
+
+        for (int bound = LONG_SPECIES.loopBound(items.length); i < bound; i += LONG_SPECIES.length()) {
+            sum = sum.add(LongVector.fromArray(LONG_SPECIES, items, i));
+        }
+
+        long result = sum.reduceLanes(VectorOperators.ADD);
+
+        for (; i < items.length; i++) {
+            result += items[i];
+        }
+
+        return result;
+    }
+
+    static int min(int[] items) {
+        IntVector min = IntVector.broadcast(INT_SPECIES, Integer.MAX_VALUE);
+        int i = 0;
+
+        for (int bound = INT_SPECIES.loopBound(items.length); i < bound; i += INT_SPECIES.length()) {
+            min = min.min(IntVector.fromArray(INT_SPECIES, items, i));
+        }
+
+        int result = min.reduceLanes(VectorOperators.MIN);
+
+        for (; i < items.length; i++) {
+            result = Math.min(result, items[i]);
+        }
+
+        return result;
+    }
+
+    static long min(long[] items) {
+        LongVector min = LongVector.broadcast(LONG_SPECIES, Long.MAX_VALUE);
+        int i = 0;
+
+        for (int bound = LONG_SPECIES.loopBound(items.length); i < bound; i += LONG_SPECIES.length()) {
+            min = min.min(LongVector.fromArray(LONG_SPECIES, items, i));
+        }
+
+        long result = min.reduceLanes(VectorOperators.MIN);
+
+        for (; i < items.length; i++) {
+            result = Math.min(result, items[i]);
+        }
+
+        return result;
+    }
+
+    static int max(int[] items) {
+        IntVector max = IntVector.broadcast(INT_SPECIES, Integer.MIN_VALUE);
+        int i = 0;
+
+        for (int bound = INT_SPECIES.loopBound(items.length); i < bound; i += INT_SPECIES.length()) {
+            max = max.max(IntVector.fromArray(INT_SPECIES, items, i));
+        }
+
+        int result = max.reduceLanes(VectorOperators.MAX);
+
+        for (; i < items.length; i++) {
+            result = Math.max(result, items[i]);
+        }
+
+        return result;
+    }
+
+    static long max(long[] items) {
+        LongVector max = LongVector.broadcast(LONG_SPECIES, Long.MIN_VALUE);
+        int i = 0;
+
+        for (int bound = LONG_SPECIES.loopBound(items.length); i < bound; i += LONG_SPECIES.length()) {
+            max = max.max(LongVector.fromArray(LONG_SPECIES, items, i));
+        }
+
+        long result = max.reduceLanes(VectorOperators.MAX);
+
+        for (; i < items.length; i++) {
+            result = Math.max(result, items[i]);
+        }
+
+        return result;
+    }
+
+    private static VectorMask<Integer> range(IntVector vector, int min, int max) {
+        return vector.compare(VectorOperators.GE, min).and(vector.compare(VectorOperators.LE, max));
+    }
+
+    private static VectorMask<Long> range(LongVector vector, long min, long max) {
+        return vector.compare(VectorOperators.GE, min).and(vector.compare(VectorOperators.LE, max));
+    }
+}
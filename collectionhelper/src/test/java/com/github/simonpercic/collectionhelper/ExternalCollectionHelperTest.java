@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2014 Simon Percic
+ *
+ * Get the latest version from:
+ * https://github.com/simonpercic/CollectionHelper
+ *
+ * Distributed under the MIT License, see LICENSE.txt for details
+ */
+
+package com.github.simonpercic.collectionhelper;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests.
+ *
+ * @author Simon Percic <a href="https://github.com/simonpercic">https://github.com/simonpercic</a>
+ */
+public class ExternalCollectionHelperTest {
+
+    private static final RecordSerializer<Integer> SERIALIZER = new RecordSerializer<Integer>() {
+        @Override
+        public void write(Integer record, DataOutput output) throws IOException {
+            output.writeInt(record);
+        }
+
+        @Override
+        public Integer read(DataInput input) throws IOException {
+            return input.readInt();
+        }
+    };
+
+    private static final Comparator<Integer> NATURAL = new Comparator<Integer>() {
+        @Override
+        public int compare(Integer lhs, Integer rhs) {
+            return lhs.compareTo(rhs);
+        }
+    };
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private List<Integer> testCollection;
+
+    @Before
+    public void setUp() throws Exception {
+        Random random = new Random(42);
+
+        testCollection = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            testCollection.add(random.nextInt(100));
+        }
+    }
+
+    @Test
+    public void testOrderBy() throws Exception {
+        List<Integer> expected = new ArrayList<>(testCollection);
+        Collections.sort(expected);
+
+        // 1 item per run is the worst case for merging
+        for (int maxItemsInMemory : new int[]{1, 7, 100, 1000, 5000}) {
+            CloseableIterator<Integer> sorted = ExternalCollectionHelper.orderBy(testCollection, NATURAL, SERIALIZER,
+                    maxItemsInMemory);
+
+            assertEquals(expected, toList(sorted));
+        }
+    }
+
+    @Test
+    public void testOrderByStable() throws Exception {
+        // ordered by the last digit only, ties must keep the source order
+        Comparator<Integer> lastDigit = new Comparator<Integer>() {
+            @Override
+            public int compare(Integer lhs, Integer rhs) {
+                return Integer.compare(lhs % 10, rhs % 10);
+            }
+        };
+
+        CloseableIterator<Integer> sorted = ExternalCollectionHelper.orderBy(Arrays.asList(21, 12, 11, 31, 2, 1),
+                lastDigit, SERIALIZER, 2);
+
+        assertEquals(Arrays.asList(21, 11, 31, 1, 12, 2), toList(sorted));
+    }
+
+    @Test
+    public void testOrderByEmpty() throws Exception {
+        assertFalse(ExternalCollectionHelper.orderBy(Collections.<Integer>emptyList(), NATURAL, SERIALIZER, 10)
+                .hasNext());
+        assertFalse(ExternalCollectionHelper.orderBy(null, NATURAL, SERIALIZER, 10).hasNext());
+    }
+
+    @Test
+    public void testDistinct() throws Exception {
+        List<Integer> expected = new ArrayList<>(new TreeSet<>(testCollection));
+
+        CloseableIterator<Integer> distinct = ExternalCollectionHelper.distinct(testCollection, NATURAL, SERIALIZER,
+                64);
+
+        assertEquals(expected, toList(distinct));
+    }
+
+    @Test
+    public void testGroupBy() throws Exception {
+        CloseableIterator<Map.Entry<Integer, List<Integer>>> groups = ExternalCollectionHelper.groupBy(
+                Arrays.asList(14, 3, 25, 4, 13, 33), new Mapper<Integer, Integer>() {
+                    @Override
+                    public Integer map(Integer object) {
+                        return object % 10;
+                    }
+                }, NATURAL, SERIALIZER, 2, temporaryFolder.getRoot());
+
+        Map.Entry<Integer, List<Integer>> group = groups.next();
+        assertEquals(Integer.valueOf(3), group.getKey());
+        assertEquals(Arrays.asList(3, 13, 33), group.getValue());
+
+        group = groups.next();
+        assertEquals(Integer.valueOf(4), group.getKey());
+        assertEquals(Arrays.asList(14, 4), group.getValue());
+
+        group = groups.next();
+        assertEquals(Integer.valueOf(5), group.getKey());
+        assertEquals(Collections.singletonList(25), group.getValue());
+
+        assertFalse(groups.hasNext());
+    }
+
+    @Test
+    public void testOrderByManyRuns() throws Exception {
+        Random random = new Random(42);
+
+        List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            items.add(random.nextInt());
+        }
+
+        List<Integer> expected = new ArrayList<>(items);
+        Collections.sort(expected);
+
+        // 2000 runs, merged at most 10 at a time
+        CloseableIterator<Integer> sorted = ExternalCollectionHelper.orderBy(items, NATURAL, SERIALIZER, 10,
+                temporaryFolder.getRoot());
+
+        assertTrue(countRunFiles() <= 10);
+        assertEquals(expected, toList(sorted));
+        assertEquals(0, countRunFiles());
+
+        // more runs than the merge limit even with a large budget
+        sorted = ExternalCollectionHelper.orderBy(items, NATURAL, SERIALIZER, 100, temporaryFolder.getRoot());
+
+        assertTrue(countRunFiles() <= ExternalSorter.MAX_MERGE_RUNS);
+        assertEquals(expected, toList(sorted));
+        assertEquals(0, countRunFiles());
+    }
+
+    @Test
+    public void testClose() throws Exception {
+        CloseableIterator<Integer> sorted = ExternalCollectionHelper.orderBy(testCollection, NATURAL, SERIALIZER, 10,
+                temporaryFolder.getRoot());
+
+        assertEquals(Integer.valueOf(0), sorted.next());
+        assertTrue(countRunFiles() > 0);
+
+        sorted.close();
+        assertFalse(sorted.hasNext());
+        assertEquals(0, countRunFiles());
+    }
+
+    @Test
+    public void testExhaustedDeletesFiles() throws Exception {
+        CloseableIterator<Integer> sorted = ExternalCollectionHelper.orderBy(testCollection, NATURAL, SERIALIZER, 10,
+                temporaryFolder.getRoot());
+
+        assertTrue(countRunFiles() > 0);
+
+        toList(sorted);
+        assertEquals(0, countRunFiles());
+    }
+
+    @Test
+    public void testFailureDeletesFiles() throws Exception {
+        // fails while merging into bigger runs with 10, and while iterating with 100 items in memory
+        for (int maxItemsInMemory : new int[]{10, 100}) {
+            try {
+                toList(ExternalCollectionHelper.orderBy(testCollection, NATURAL, failingSerializer(), maxItemsInMemory,
+                        temporaryFolder.getRoot()));
+                Assert.fail("orderBy should throw exception");
+            } catch (IllegalStateException e) {
+                assertEquals("Broken record", e.getMessage());
+            }
+
+            assertEquals(0, countRunFiles());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidMemoryBudget() throws Exception {
+        ExternalCollectionHelper.orderBy(testCollection, NATURAL, SERIALIZER, 0);
+    }
+
+    private static RecordSerializer<Integer> failingSerializer() {
+        return new RecordSerializer<Integer>() {
+            private int reads;
+
+            @Override
+            public void write(Integer record, DataOutput output) throws IOException {
+                output.writeInt(record);
+            }
+
+            @Override
+            public Integer read(DataInput input) throws IOException {
+                if (++reads == 50) {
+                    throw new IllegalStateException("Broken record");
+                }
+
+                return input.readInt();
+            }
+        };
+    }
+
+    private int countRunFiles() {
+        File[] files = temporaryFolder.getRoot().listFiles();
+        return files == null ? 0 : files.length;
+    }
+
+    private static <T> List<T> toList(Iterator<T> iterator) {
+        List<T> result = new ArrayList<>();
+
+        while (iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2014 Simon Percic
+ *
+ * Get the latest version from:
+ * https://github.com/simonpercic/CollectionHelper
+ *
+ * Distributed under the MIT License, see LICENSE.txt for details
+ */
+
+package com.github.simonpercic.collectionhelper;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests.
+ *
+ * @author Simon Percic <a href="https://github.com/simonpercic">https://github.com/simonpercic</a>
+ */
+public class ImmutableCollectionHelperTest {
+    private List<Integer> testCollection;
+
+    @Before
+    public void setUp() throws Exception {
+        testCollection = Arrays.asList(1, 4, 2, 7, 8, 0, 5);
+    }
+
+    @Test
+    public void testFilter() throws Exception {
+        List<Integer> largerThan2 = ImmutableCollectionHelper.filter(testCollection, new Predicate<Integer>() {
+            @Override
+            public boolean apply(Integer object) {
+                return object > 2;
+            }
+        });
+
+        assertEquals(Arrays.asList(4, 7, 8, 5), largerThan2);
+
+        List<Integer> equals8 = ImmutableCollectionHelper.filter(testCollection, new Predicate<Integer>() {
+            @Override
+            public boolean apply(Integer object) {
+                return object == 8;
+            }
+        });
+
+        assertEquals(Collections.singletonList(8), equals8);
+
+        List<Integer> noFiltering = ImmutableCollectionHelper.filter(testCollection, new Predicate<Integer>() {
+            @Override
+            public boolean apply(Integer object) {
+                return true;
+            }
+        });
+
+        assertEquals(testCollection, noFiltering);
+    }
+
+    @Test
+    public void testFilterEmpty() throws Exception {
+        List<Integer> largerThan50 = ImmutableCollectionHelper.filter(testCollection, new Predicate<Integer>() {
+            @Override
+            public boolean apply(Integer object) {
+                return object > 50;
+            }
+        });
+
+        assertSame(Collections.emptyList(), largerThan50);
+        assertSame(Collections.emptyList(), ImmutableCollectionHelper.filter(null, new Predicate<Object>() {
+            @Override
+            public boolean apply(Object object) {
+                return true;
+            }
+        }));
+    }
+
+    @Test
+    public void testMap() throws Exception {
+        List<String> mappedList = ImmutableCollectionHelper.map(testCollection, new Mapper<Integer, String>() {
+            @Override
+            public String map(Integer object) {
+                return String.format(Locale.US, "i%d", object);
+            }
+        });
+
+        assertEquals(Arrays.asList("i1", "i4", "i2", "i7", "i8", "i0", "i5"), mappedList);
+        assertSame(Collections.emptyList(), ImmutableCollectionHelper.map(Collections.<Integer>emptyList(),
+                new Mapper<Integer, String>() {
+                    @Override
+                    public String map(Integer object) {
+                        return String.valueOf(object);
+                    }
+                }));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testImmutable() throws Exception {
+        List<Integer> all = ImmutableCollectionHelper.filter(testCollection, new Predicate<Integer>() {
+            @Override
+            public boolean apply(Integer object) {
+                return true;
+            }
+        });
+
+        all.set(0, 42);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testImmutableSingle() throws Exception {
+        List<Integer> single = ImmutableCollectionHelper.filter(testCollection, new Predicate<Integer>() {
+            @Override
+            public boolean apply(Integer object) {
+                return object == 1;
+            }
+        });
+
+        single.add(42);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testImmutableMap() throws Exception {
+        List<String> mappedList = ImmutableCollectionHelper.map(testCollection, new Mapper<Integer, String>() {
+            @Override
+            public String map(Integer object) {
+                return String.valueOf(object);
+            }
+        });
+
+        mappedList.remove(0);
+    }
+
+    @Test
+    public void testSerializable() throws Exception {
+        List<Integer> largerThan2 = ImmutableCollectionHelper.filter(testCollection, new Predicate<Integer>() {
+            @Override
+            public boolean apply(Integer object) {
+                return object > 2;
+            }
+        });
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(largerThan2);
+        }
+
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertEquals(largerThan2, input.readObject());
+        }
+    }
+
+    @Test
+    public void testFilterLargeSource() throws Exception {
+        RecordCodec<Integer> codec = new RecordCodec<Integer>() {
+            @Override
+            public int recordSize() {
+                return 4;
+            }
+
+            @Override
+            public Integer decode(ByteBuffer buffer, int offset) {
+                return buffer.getInt(offset);
+            }
+
+            @Override
+            public void encode(Integer record, ByteBuffer buffer, int offset) {
+                buffer.putInt(offset, record);
+            }
+        };
+
+        List<Integer> source = new ArrayList<>();
+        for (int i = 0; i < 100000; i++) {
+            source.add(i);
+        }
+
+        File file = File.createTempFile("records", ".bin");
+
+        try {
+            MappedRecordList.write(file, source, codec);
+            final MappedRecordList<Integer> records = MappedRecordList.open(file, codec);
+
+            // the source must be streamed, not copied as a whole
+            Collection<Integer> streamOnly = new AbstractCollection<Integer>() {
+                @Override
+                public Iterator<Integer> iterator() {
+                    return records.iterator();
+                }
+
+                @Override
+                public int size() {
+                    return records.size();
+                }
+
+                @Override
+                public Object[] toArray() {
+                    throw new UnsupportedOperationException();
+                }
+            };
+
+            List<Integer> multiplesOf25000 = ImmutableCollectionHelper.filter(streamOnly, new Predicate<Integer>() {
+                @Override
+                public boolean apply(Integer object) {
+                    return object % 25000 == 0;
+                }
+            });
+
+            assertEquals(Arrays.asList(0, 25000, 50000, 75000), multiplesOf25000);
+        } finally {
+            //noinspection ResultOfMethodCallIgnored
+            file.delete();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2014 Simon Percic
+ *
+ * Get the latest version from:
+ * https://github.com/simonpercic/CollectionHelper
+ *
+ * Distributed under the MIT License, see LICENSE.txt for details
+ */
+
+package com.github.simonpercic.collectionhelper;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests.
+ *
+ * @author Simon Percic <a href="https://github.com/simonpercic">https://github.com/simonpercic</a>
+ */
+public class MappedRecordListTest {
+
+    // record layout: int id, long timestamp
+    private static final RecordCodec<Event> CODEC = new RecordCodec<Event>() {
+        @Override
+        public int recordSize() {
+            return 12;
+        }
+
+        @Override
+        public Event decode(ByteBuffer buffer, int offset) {
+            return new Event(buffer.getInt(offset), buffer.getLong(offset + 4));
+        }
+
+        @Override
+        public void encode(Event record, ByteBuffer buffer, int offset) {
+            buffer.putInt(offset, record.id);
+            buffer.putLong(offset + 4, record.timestamp);
+        }
+    };
+
+    private File file;
+    private List<Event> events;
+
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile("records", ".bin");
+
+        events = new ArrayList<>();
+        // 101 records, so the last segment is only partially filled
+        for (int i = 0; i < 101; i++) {
+            events.add(new Event(i, 1000L * (i % 10)));
+        }
+
+        MappedRecordList.write(file, events, CODEC);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        //noinspection ResultOfMethodCallIgnored
+        file.delete();
+    }
+
+    @Test
+    public void testList() throws Exception {
+        // 5 records per segment
+        MappedRecordList<Event> list = MappedRecordList.open(file, CODEC, 64);
+
+        assertEquals(events.size(), list.size());
+        assertEquals(events, list);
+        assertEquals(events.get(57), list.get(57));
+        assertEquals(events.get(100), list.get(100));
+    }
+
+    @Test
+    public void testCollectionHelper() throws Exception {
+        MappedRecordList<Event> list = MappedRecordList.open(file, CODEC, 64);
+
+        Predicate<Event> predicate = new Predicate<Event>() {
+            @Override
+            public boolean apply(Event object) {
+                return object.timestamp == 3000L;
+            }
+        };
+
+        assertEquals(10, CollectionHelper.count(list, predicate));
+        assertEquals(3, CollectionHelper.firstIndexOf(list, predicate));
+        assertEquals(CollectionHelper.filter(events, predicate), CollectionHelper.filter(list, predicate));
+    }
+
+    @Test
+    public void testColumnPredicates() throws Exception {
+        MappedRecordList<Event> list = MappedRecordList.open(file, CODEC, 64);
+
+        assertEquals(91, list.count(0, IntComparison.ge(10)));
+        assertEquals(20, list.count(4, LongComparison.between(2000L, 3000L)));
+        assertEquals(42, list.firstIndexOf(0, IntComparison.eq(42)));
+        assertEquals(100, list.firstIndexOf(0, IntComparison.eq(100)));
+        assertEquals(9, list.firstIndexOf(4, LongComparison.gt(8000L)));
+        assertEquals(CollectionHelper.NOT_FOUND_INDEX, list.firstIndexOf(0, IntComparison.lt(0)));
+        assertEquals(Arrays.asList(new Event(98, 8000L), new Event(99, 9000L), new Event(100, 0L)),
+                list.filter(0, IntComparison.gt(97)));
+        assertEquals(11, list.filter(4, LongComparison.eq(0L)).size());
+    }
+
+    @Test
+    public void testEmpty() throws Exception {
+        MappedRecordList.write(file, new ArrayList<Event>(), CODEC);
+
+        MappedRecordList<Event> list = MappedRecordList.open(file, CODEC);
+
+        assertEquals(0, list.size());
+        assertEquals(0, list.count(0, IntComparison.ge(0)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidFieldOffset() throws Exception {
+        MappedRecordList.open(file, CODEC).count(8, LongComparison.eq(0L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWriteInvalidRecordSize() throws Exception {
+        MappedRecordList.write(file, events, new RecordCodec<Event>() {
+            @Override
+            public int recordSize() {
+                return 0;
+            }
+
+            @Override
+            public Event decode(ByteBuffer buffer, int offset) {
+                return null;
+            }
+
+            @Override
+            public void encode(Event record, ByteBuffer buffer, int offset) {
+            }
+        });
+    }
+
+    @Test(expected = IOException.class)
+    public void testInvalidFileLength() throws Exception {
+        try (FileOutputStream outputStream = new FileOutputStream(file, true)) {
+            outputStream.write(1);
+        }
+
+        MappedRecordList.open(file, CODEC);
+    }
+
+    private static final class Event {
+        final int id;
+        final long timestamp;
+
+        Event(int id, long timestamp) {
+            this.id = id;
+            this.timestamp = timestamp;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Event)) {
+                return false;
+            }
+
+            Event event = (Event) o;
+            return id == event.id && timestamp == event.timestamp;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * id + (int) (timestamp ^ (timestamp >>> 32));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2014 Simon Percic
+ *
+ * Get the latest version from:
+ * https://github.com/simonpercic/CollectionHelper
+ *
+ * Distributed under the MIT License, see LICENSE.txt for details
+ */
+
+package com.github.simonpercic.collectionhelper;
+
+import com.github.simonpercic.collectionhelper.exceptions.InvalidOperationException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests.
+ *
+ * @author Simon Percic <a href="https://github.com/simonpercic">https://github.com/simonpercic</a>
+ */
+public class PrimitiveCollectionHelperTest {
+    private int[] testArray;
+    private long[] testLongArray;
+
+    @Before
+    public void setUp() throws Exception {
+        testArray = new int[]{1, 4, 2, 7, 8, 0, 5};
+        testLongArray = new long[]{1, 4, 2, 7, 8, 0, 5};
+    }
+
+    @Test
+    public void testFilter() throws Exception {
+        assertArrayEquals(new int[]{4, 7, 8, 5}, PrimitiveCollectionHelper.filter(testArray, IntComparison.gt(2)));
+        assertArrayEquals(new int[]{1, 2, 0}, PrimitiveCollectionHelper.filter(testArray, IntComparison.lt(4)));
+        assertArrayEquals(new int[]{4, 2, 5}, PrimitiveCollectionHelper.filter(testArray, IntComparison.between(2, 5)));
+        assertArrayEquals(new int[]{7}, PrimitiveCollectionHelper.filter(testArray, IntComparison.eq(7)));
+        assertArrayEquals(new int[0], PrimitiveCollectionHelper.filter(testArray, IntComparison.gt(50)));
+        assertArrayEquals(new int[0], PrimitiveCollectionHelper.filter((int[]) null, IntComparison.gt(2)));
+
+        assertArrayEquals(new long[]{4, 7, 8, 5},
+                PrimitiveCollectionHelper.filter(testLongArray, LongComparison.gt(2)));
+    }
+
+    @Test
+    public void testCount() throws Exception {
+        assertEquals(4, PrimitiveCollectionHelper.count(testArray, IntComparison.gt(2)));
+        assertEquals(5, PrimitiveCollectionHelper.count(testArray, IntComparison.le(5)));
+        assertEquals(0, PrimitiveCollectionHelper.count(testArray, IntComparison.between(5, 2)));
+        assertEquals(0, PrimitiveCollectionHelper.count(new int[]{Integer.MAX_VALUE},
+                IntComparison.gt(Integer.MAX_VALUE)));
+        assertEquals(0, PrimitiveCollectionHelper.count((int[]) null, IntComparison.gt(2)));
+
+        assertEquals(4, PrimitiveCollectionHelper.count(testLongArray, LongComparison.gt(2)));
+        assertEquals(0, PrimitiveCollectionHelper.count(new long[]{Long.MIN_VALUE}, LongComparison.lt(Long.MIN_VALUE)));
+    }
+
+    @Test
+    public void testSum() throws Exception {
+        assertEquals(27, PrimitiveCollectionHelper.sum(testArray));
+        assertEquals(27, PrimitiveCollectionHelper.sum(testLongArray));
+        assertEquals(2L * Integer.MAX_VALUE,
+                PrimitiveCollectionHelper.sum(new int[]{Integer.MAX_VALUE, Integer.MAX_VALUE}));
+        assertEquals(0, PrimitiveCollectionHelper.sum((int[]) null));
+    }
+
+    @Test
+    public void testMinMax() throws Exception {
+        assertEquals(0, PrimitiveCollectionHelper.min(testArray));
+        assertEquals(8, PrimitiveCollectionHelper.max(testArray));
+        assertEquals(0, PrimitiveCollectionHelper.min(testLongArray));
+        assertEquals(8, PrimitiveCollectionHelper.max(testLongArray));
+    }
+
+    @Test(expected = InvalidOperationException.class)
+    public void testMinEmpty() throws Exception {
+        PrimitiveCollectionHelper.min(new int[0]);
+    }
+
+    @Test(expected = InvalidOperationException.class)
+    public void testMaxEmpty() throws Exception {
+        PrimitiveCollectionHelper.max((long[]) null);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2014 Simon Percic
+ *
+ * Get the latest version from:
+ * https://github.com/simonpercic/CollectionHelper
+ *
+ * Distributed under the MIT License, see LICENSE.txt for details
+ */
+
+package com.github.simonpercic.collectionhelper;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests.
+ *
+ * @author Simon Percic <a href="https://github.com/simonpercic">https://github.com/simonpercic</a>
+ */
+public class VectorKernelsTest {
+
+    @Test
+    public void testVectorized() throws Exception {
+        assertTrue(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent());
+        assertEquals(VectorKernels.isSupported(), PrimitiveKernels.VECTORIZED);
+    }
+
+    @Test
+    public void testMatchesScalar() throws Exception {
+        Random random = new Random(42);
+
+        // lane mask edge cases: single value, empty ranges (NONE and min > max) and the full range
+        IntComparison[] comparisons = new IntComparison[]{
+                IntComparison.between(-(1 << 30), 1 << 30),
+                IntComparison.eq(7),
+                IntComparison.lt(Integer.MIN_VALUE),
+                IntComparison.gt(Integer.MAX_VALUE),
+                IntComparison.between(5, -5),
+                IntComparison.le(Integer.MAX_VALUE),
+        };
+
+        LongComparison[] longComparisons = new LongComparison[]{
+                LongComparison.gt(0L),
+                LongComparison.eq(7L),
+                LongComparison.lt(Long.MIN_VALUE),
+                LongComparison.gt(Long.MAX_VALUE),
+                LongComparison.between(5L, -5L),
+                LongComparison.le(Long.MAX_VALUE),
+        };
+
+        // lengths around common vector widths, to cover both the vector loops and the scalar tails
+        for (int length = 0; length < 70; length++) {
+            int[] items = new int[length];
+            long[] longItems = new long[length];
+
+            for (int i = 0; i < length; i++) {
+                // every other item is small, so that eq matches too
+                items[i] = i % 2 == 0 ? random.nextInt() : random.nextInt(16);
+                longItems[i] = i % 2 == 0 ? random.nextLong() : random.nextInt(16);
+            }
+
+            for (IntComparison comparison : comparisons) {
+                assertEquals(ScalarKernels.count(items, comparison.min, comparison.max),
+                        VectorKernels.count(items, comparison.min, comparison.max));
+                assertArrayEquals(ScalarKernels.filter(items, comparison.min, comparison.max),
+                        VectorKernels.filter(items, comparison.min, comparison.max));
+            }
+
+            for (LongComparison comparison : longComparisons) {
+                assertEquals(ScalarKernels.count(longItems, comparison.min, comparison.max),
+                        VectorKernels.count(longItems, comparison.min, comparison.max));
+                assertArrayEquals(ScalarKernels.filter(longItems, comparison.min, comparison.max),
+                        VectorKernels.filter(longItems, comparison.min, comparison.max));
+            }
+
+            assertEquals(ScalarKernels.sum(items), VectorKernels.sum(items));
+            assertEquals(ScalarKernels.sum(longItems), VectorKernels.sum(longItems));
+
+            if (length > 0) {
+                assertEquals(ScalarKernels.min(items), VectorKernels.min(items));
+                assertEquals(ScalarKernels.max(items), VectorKernels.max(items));
+                assertEquals(ScalarKernels.min(longItems), VectorKernels.min(longItems));
+                assertEquals(ScalarKernels.max(longItems), VectorKernels.max(longItems));
+            }
+        }
+    }
+
+    @Test
+    public void testSumOverflow() throws Exception {
+        int[] items = new int[100];
+        Arrays.fill(items, Integer.MAX_VALUE);
+
+        assertEquals(100L * Integer.MAX_VALUE, VectorKernels.sum(items));
+
+        Arrays.fill(items, Integer.MIN_VALUE);
+
+        assertEquals(100L * Integer.MIN_VALUE, VectorKernels.sum(items));
+    }
+}